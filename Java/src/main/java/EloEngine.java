@@ -0,0 +1,167 @@
+// EloEngine.java
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Elo ratings for a block of configurations updated together.
+ * Ratings are stored player-major with the configuration index innermost
+ * (overall[p * C + c]), so one match updates C contiguous slots per player and
+ * a single replay of the history evaluates every configuration in the block.
+ *
+ * Each player has an overall rating and one rating per surface; predictions use
+ * (1 - surfaceBlend) * overall + surfaceBlend * surface. Inactivity decay is applied
+ * lazily when a player next plays.
+ */
+public final class EloEngine {
+    public static final int UNKNOWN_DAY = Integer.MIN_VALUE;
+    public static final int SURFACES = 4;
+    private static final float INITIAL = 1500f;
+    private static final double LN10_400 = Math.log(10) / 400.0;
+
+    private final int configs;
+    private final double[] k, blend, decayPerDay, movWeight; // per configuration
+
+    private float[] overall;  // [player * C + c]
+    private float[] surface;  // [(player * SURFACES + s) * C + c]
+    private int[] lastDay;    // shared by all configurations
+    private int players;
+
+    public EloEngine(List<EloParams> params, int initialPlayers) {
+        if (params.isEmpty()) throw new IllegalArgumentException("No Elo configurations.");
+        configs = params.size();
+        k = new double[configs];
+        blend = new double[configs];
+        decayPerDay = new double[configs];
+        movWeight = new double[configs];
+        for (int c = 0; c < configs; c++) {
+            EloParams p = params.get(c);
+            k[c] = p.k;
+            blend[c] = p.surfaceBlend;
+            decayPerDay[c] = p.decay / 365.25;
+            movWeight[c] = p.movWeight;
+        }
+        overall = new float[0];
+        surface = new float[0];
+        lastDay = new int[0];
+        ensurePlayers(Math.max(initialPlayers, 16));
+    }
+
+    public int configCount() { return configs; }
+
+    // Grow storage so player indices [0, n) are valid
+    public void ensurePlayers(int n) {
+        if (n <= players) return;
+        int cap = Math.max(n, players * 2);
+        int old = players;
+        overall = Arrays.copyOf(overall, cap * configs);
+        surface = Arrays.copyOf(surface, cap * SURFACES * configs);
+        lastDay = Arrays.copyOf(lastDay, cap);
+        Arrays.fill(overall, old * configs, overall.length, INITIAL);
+        Arrays.fill(surface, old * SURFACES * configs, surface.length, INITIAL);
+        Arrays.fill(lastDay, old, cap, UNKNOWN_DAY);
+        players = cap;
+    }
+
+    public static byte surfaceIndex(String s) {
+        if (s == null) return -1;
+        switch (s) {
+            case "Hard": return 0;
+            case "Clay": return 1;
+            case "Grass": return 2;
+            case "Carpet": return 3;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Pre-match rating of a player for configuration c: surface-blended and decayed to `day`.
+     * Read-only, so it can be used for features before the match is played.
+     */
+    public float rating(int p, int s, int day, int c) {
+        return rating(p, s, day, c, blend[c]);
+    }
+
+    // Surface-only pre-match rating (falls back to overall when the surface is unknown)
+    public float surfaceRating(int p, int s, int day, int c) {
+        return rating(p, s, day, c, 1.0);
+    }
+
+    private float rating(int p, int s, int day, int c, double b) {
+        double f = decayFactor(p, day, c);
+        double o = INITIAL + (overall[p * configs + c] - INITIAL) * f;
+        if (s < 0) return (float) o;
+        double sr = INITIAL + (surface[(p * SURFACES + s) * configs + c] - INITIAL) * f;
+        return (float) ((1 - b) * o + b * sr);
+    }
+
+    public static double expected(double ratingA, double ratingB) {
+        return 1.0 / (1.0 + Math.exp(-(ratingA - ratingB) * LN10_400));
+    }
+
+    /**
+     * Play one match (w beat l) for every configuration.
+     * If logLoss != null, the pre-match prediction is scored: logLoss[c] += -ln P(w wins),
+     * and correct[c] is incremented when P(w wins) > 0.5.
+     */
+    public void play(int w, int l, int s, int day, float margin, double[] logLoss, int[] correct) {
+        final int C = configs;
+        final int ow = w * C, ol = l * C;
+        final int sw = s < 0 ? -1 : (w * SURFACES + s) * C;
+        final int sl = s < 0 ? -1 : (l * SURFACES + s) * C;
+        final int gapW = gap(w, day), gapL = gap(l, day);
+
+        for (int c = 0; c < C; c++) {
+            if (decayPerDay[c] > 0) {
+                if (gapW > 0) decayPlayer(w, c, Math.exp(-decayPerDay[c] * gapW));
+                if (gapL > 0) decayPlayer(l, c, Math.exp(-decayPerDay[c] * gapL));
+            }
+            float rw = overall[ow + c], rl = overall[ol + c];
+            double eOverall = expected(rw, rl);
+            double mult = Math.max(0.0, 1.0 + movWeight[c] * margin); // never flip the sign of K
+
+            double eSurface = 0, pWin = eOverall;
+            if (s >= 0) {
+                float srw = surface[sw + c], srl = surface[sl + c];
+                eSurface = expected(srw, srl);
+                double b = blend[c];
+                pWin = expected((1 - b) * rw + b * srw, (1 - b) * rl + b * srl);
+                float ds = (float) (k[c] * mult * (1 - eSurface));
+                surface[sw + c] = srw + ds;
+                surface[sl + c] = srl - ds;
+            }
+            float d = (float) (k[c] * mult * (1 - eOverall));
+            overall[ow + c] = rw + d;
+            overall[ol + c] = rl - d;
+
+            if (logLoss != null) {
+                logLoss[c] -= Math.log(Math.max(pWin, 1e-15));
+                if (pWin > 0.5) correct[c]++;
+            }
+        }
+        if (day != UNKNOWN_DAY) { // only move forward, so out-of-order input cannot fake a long gap
+            lastDay[w] = Math.max(lastDay[w], day);
+            lastDay[l] = Math.max(lastDay[l], day);
+        }
+    }
+
+    private int gap(int p, int day) {
+        int last = lastDay[p];
+        if (day == UNKNOWN_DAY || last == UNKNOWN_DAY) return 0;
+        return day - last;
+    }
+
+    private double decayFactor(int p, int day, int c) {
+        if (decayPerDay[c] <= 0) return 1.0;
+        int g = gap(p, day);
+        return g > 0 ? Math.exp(-decayPerDay[c] * g) : 1.0;
+    }
+
+    private void decayPlayer(int p, int c, double f) {
+        int i = p * configs + c;
+        overall[i] = (float) (INITIAL + (overall[i] - INITIAL) * f);
+        for (int s = 0; s < SURFACES; s++) {
+            int j = (p * SURFACES + s) * configs + c;
+            surface[j] = (float) (INITIAL + (surface[j] - INITIAL) * f);
+        }
+    }
+}
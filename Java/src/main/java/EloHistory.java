@@ -0,0 +1,96 @@
+// EloHistory.java
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Chronologically sorted match history flattened into primitive arrays,
+ * so a rating replay touches no objects and no maps.
+ * Walkovers and rows without both player ids are dropped (no tennis was played).
+ */
+public final class EloHistory {
+    public final int size;
+    public final int[] winner;    // player index
+    public final int[] loser;     // player index
+    public final byte[] surface;  // EloEngine surface index, -1 unknown
+    public final int[] day;       // epoch day, EloEngine.UNKNOWN_DAY if unknown
+    public final float[] margin;  // winner game margin in [-1,1], see marginOfVictory
+    public final int[] date;      // tourney_date YYYYMMDD, 0 unknown
+    private final List<String> playerIds;
+
+    // Replay order shared with FeatureTransformer: date, then tournament, then match number
+    public static final Comparator<MatchFeatures> CHRONOLOGICAL = Comparator
+            .comparingInt((MatchFeatures m) -> m.getTourney_date() == null ? 0 : m.getTourney_date())
+            .thenComparing(m -> m.tourney_id == null ? "" : m.tourney_id)
+            .thenComparingInt(m -> m.getMatch_num() == null ? 0 : m.getMatch_num());
+
+    private EloHistory(int size, int[] winner, int[] loser, byte[] surface, int[] day,
+                       float[] margin, int[] date, List<String> playerIds) {
+        this.size = size;
+        this.winner = winner;
+        this.loser = loser;
+        this.surface = surface;
+        this.day = day;
+        this.margin = margin;
+        this.date = date;
+        this.playerIds = playerIds;
+    }
+
+    public static EloHistory build(List<MatchFeatures> matches) {
+        List<MatchFeatures> sorted = new ArrayList<>(matches.size());
+        for (MatchFeatures m : matches) {
+            if (m.getWinner_id() == null || m.getLoser_id() == null) continue;
+            if (m.getParsedScore().termination == ParsedScore.END_WALKOVER) continue;
+            sorted.add(m);
+        }
+        sorted.sort(CHRONOLOGICAL);
+
+        int n = sorted.size();
+        int[] w = new int[n], l = new int[n], d = new int[n], ymd = new int[n];
+        byte[] s = new byte[n];
+        float[] mov = new float[n];
+        Map<String, Integer> index = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            MatchFeatures m = sorted.get(i);
+            w[i] = index.computeIfAbsent(m.getWinner_id(), id -> { ids.add(id); return ids.size() - 1; });
+            l[i] = index.computeIfAbsent(m.getLoser_id(), id -> { ids.add(id); return ids.size() - 1; });
+            s[i] = EloEngine.surfaceIndex(m.getSurface());
+            ymd[i] = m.getTourney_date() == null ? 0 : m.getTourney_date();
+            d[i] = epochDay(ymd[i]);
+            mov[i] = marginOfVictory(m.getParsedScore());
+        }
+        return new EloHistory(n, w, l, s, d, mov, ymd, Collections.unmodifiableList(ids));
+    }
+
+    public int playerCount() { return playerIds.size(); }
+    public String playerId(int index) { return playerIds.get(index); }
+
+    // First match index on or after the given YYYYMMDD date (size if none)
+    public int indexOfDate(int yyyymmdd) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (date[mid] < yyyymmdd) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // (gamesW - gamesL) / totalGames from the winner's perspective; 0 for unfinished matches
+    // (a retirement score says nothing about the margin) and scores without games
+    public static float marginOfVictory(ParsedScore ps) {
+        if (ps.termination != ParsedScore.END_COMPLETED) return 0f;
+        int gw = ps.gamesWon(), gl = ps.gamesLost();
+        return gw + gl > 0 ? (float) (gw - gl) / (gw + gl) : 0f;
+    }
+
+    public static int epochDay(int yyyymmdd) {
+        if (yyyymmdd <= 0) return EloEngine.UNKNOWN_DAY;
+        try {
+            return (int) LocalDate.of(yyyymmdd / 10000, (yyyymmdd / 100) % 100, yyyymmdd % 100).toEpochDay();
+        } catch (DateTimeException e) {
+            return EloEngine.UNKNOWN_DAY;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// EloParams.java
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One Elo configuration:
+ *  - k:            base K-factor
+ *  - surfaceBlend: weight of the surface rating vs the overall rating when predicting (0..1)
+ *  - decay:        pull towards 1500 per year of inactivity (0 = none), r = 1500 + (r-1500)*exp(-decay*years)
+ *  - movWeight:    margin-of-victory weight, K is scaled by max(0, 1 + movWeight * gameMargin)
+ */
+public final class EloParams {
+    public static final EloParams DEFAULT = new EloParams(32.0, 0.5, 0.0, 0.0);
+
+    public final double k;
+    public final double surfaceBlend;
+    public final double decay;
+    public final double movWeight;
+
+    public EloParams(double k, double surfaceBlend, double decay, double movWeight) {
+        if (k <= 0) throw new IllegalArgumentException("k must be > 0: " + k);
+        if (surfaceBlend < 0 || surfaceBlend > 1) throw new IllegalArgumentException("surfaceBlend must be in [0,1]: " + surfaceBlend);
+        if (decay < 0) throw new IllegalArgumentException("decay must be >= 0: " + decay);
+        if (movWeight < 0) throw new IllegalArgumentException("movWeight must be >= 0: " + movWeight);
+        this.k = k;
+        this.surfaceBlend = surfaceBlend;
+        this.decay = decay;
+        this.movWeight = movWeight;
+    }
+
+    // Cartesian product of the given values
+    public static List<EloParams> grid(double[] ks, double[] blends, double[] decays, double[] movWeights) {
+        List<EloParams> out = new ArrayList<>();
+        for (double k : ks)
+            for (double b : blends)
+                for (double d : decays)
+                    for (double m : movWeights)
+                        out.add(new EloParams(k, b, d, m));
+        return out;
+    }
+
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null && !Files.exists(file.getParent())) Files.createDirectories(file.getParent());
+        Files.writeString(file, new Gson().toJson(this));
+    }
+
+    // Returns null if the file does not exist; values are re-validated through the constructor
+    public static EloParams load(Path file) throws IOException {
+        if (!Files.exists(file)) return null;
+        EloParams p = new Gson().fromJson(Files.readString(file), EloParams.class);
+        return new EloParams(p.k, p.surfaceBlend, p.decay, p.movWeight);
+    }
+
+    // Tuned parameters from file, or DEFAULT with a warning (never tuned on the data being featurized)
+    public static EloParams loadOrDefault(Path file) throws IOException {
+        EloParams p = load(file);
+        if (p != null) return p;
+        System.err.println("No tuned Elo parameters at " + file + "; using " + DEFAULT
+                + ". Run EloSweep.main to tune them on the full history.");
+        return DEFAULT;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EloParams{k=%.1f, surfaceBlend=%.2f, decay=%.2f, movWeight=%.2f}", k, surfaceBlend, decay, movWeight);
+    }
+}
@@ -0,0 +1,112 @@
+// EloSweep.java
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * EloSweep replays an EloHistory for many EloParams and reports the log-loss of each.
+ * Configurations are split into blocks; each block is one EloEngine that evaluates all
+ * of its configurations in a single pass, and blocks run in parallel.
+ */
+public class EloSweep {
+    private static final int DEFAULT_BLOCK = 16;
+
+    // Best configuration found by main(); loaded with EloParams.loadOrDefault
+    public static final Path PARAMS_FILE = Paths.get("Data/elo_params.json");
+
+    public static List<EloParams> defaultGrid() {
+        return EloParams.grid(
+                new double[]{16, 24, 32, 40, 48},
+                new double[]{0.0, 0.25, 0.5, 0.75},
+                new double[]{0.0, 0.1, 0.25, 0.5, 1.0},
+                new double[]{0.0, 0.5, 1.0, 2.0, 3.0, 4.0});
+    }
+
+    public static class Result {
+        public final EloParams params;
+        public final double logLoss;   // mean over evaluated matches
+        public final double accuracy;
+        public final int evaluated;
+
+        Result(EloParams params, double logLoss, double accuracy, int evaluated) {
+            this.params = params;
+            this.logLoss = logLoss;
+            this.accuracy = accuracy;
+            this.evaluated = evaluated;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s logLoss=%.5f acc=%.4f n=%d", params, logLoss, accuracy, evaluated);
+        }
+    }
+
+    /**
+     * Replay the full history for every configuration; only matches with index >= evalFrom
+     * are scored (earlier ones are burn-in). Results are sorted by log-loss, best first.
+     */
+    public static List<Result> run(EloHistory history, List<EloParams> params, int evalFrom) {
+        return run(history, params, evalFrom, DEFAULT_BLOCK);
+    }
+
+    public static List<Result> run(EloHistory history, List<EloParams> params, int evalFrom, int blockSize) {
+        if (params == null || params.isEmpty()) throw new IllegalArgumentException("No parameter sets provided.");
+        if (blockSize <= 0) throw new IllegalArgumentException("blockSize must be > 0: " + blockSize);
+        int from = Math.max(0, Math.min(evalFrom, history.size));
+        int evaluated = history.size - from;
+        int blocks = (params.size() + blockSize - 1) / blockSize;
+
+        Result[] results = new Result[params.size()];
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int lo = b * blockSize, hi = Math.min(params.size(), lo + blockSize);
+            List<EloParams> block = params.subList(lo, hi);
+            double[] loss = new double[block.size()];
+            int[] correct = new int[block.size()];
+            replay(history, block, from, loss, correct);
+            for (int c = 0; c < block.size(); c++) {
+                results[lo + c] = new Result(block.get(c),
+                        evaluated > 0 ? loss[c] / evaluated : Double.NaN,
+                        evaluated > 0 ? (double) correct[c] / evaluated : Double.NaN,
+                        evaluated);
+            }
+        });
+
+        List<Result> out = new ArrayList<>(Arrays.asList(results));
+        out.sort(Comparator.comparingDouble(r -> r.logLoss));
+        return out;
+    }
+
+    private static void replay(EloHistory h, List<EloParams> block, int evalFrom, double[] loss, int[] correct) {
+        EloEngine engine = new EloEngine(block, h.playerCount());
+        for (int i = 0; i < h.size; i++) {
+            engine.play(h.winner[i], h.loser[i], h.surface[i], h.day[i], h.margin[i],
+                    i >= evalFrom ? loss : null, correct);
+        }
+    }
+
+    // Load every yearly CSV, sweep the default grid, print the best configurations and save the winner to PARAMS_FILE.
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "Data/OriginalCSVs");
+        int evalFromDate = args.length > 1 ? Integer.parseInt(args[1]) : 19900101;
+
+        List<MatchFeatures> matches = FeatureEngineer.loadAll(dir);
+
+        long t0 = System.nanoTime();
+        EloHistory history = EloHistory.build(matches);
+        long t1 = System.nanoTime();
+
+        List<EloParams> grid = defaultGrid();
+        List<Result> results = run(history, grid, history.indexOfDate(evalFromDate));
+        long t2 = System.nanoTime();
+
+        System.out.println("Matches=" + history.size + " players=" + history.playerCount()
+                + " configs=" + grid.size()
+                + " build=" + (t1 - t0) / 1_000_000 + "ms sweep=" + (t2 - t1) / 1_000_000 + "ms");
+        for (int i = 0; i < Math.min(10, results.size()); i++) System.out.println((i + 1) + ": " + results.get(i));
+
+        results.get(0).params.save(PARAMS_FILE);
+        System.out.println("Saved best parameters to " + PARAMS_FILE);
+    }
+}
@@ -1,5 +1,9 @@
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FeatureEngineer {
     private List<MatchFeatures> matches;
@@ -12,6 +16,17 @@ public class FeatureEngineer {
     }
 
     public List<MatchFeatures> getMatches() { return matches; }
+
+    // All matches from every .csv in a directory (e.g. Data/OriginalCSVs), files in name order
+    public static List<MatchFeatures> loadAll(Path dir) throws IOException {
+        List<MatchFeatures> all = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.filter(f -> f.toString().endsWith(".csv")).sorted().collect(Collectors.toList())) {
+                all.addAll(new FeatureEngineer(p.toString()).getMatches());
+            }
+        }
+        return all;
+    }
     public Map<String, PlayerHistory> getPlayerHistories() { return playerHistories; }
 
     private void loadCsv(String csvPath) throws IOException {
@@ -64,6 +79,7 @@ public class FeatureEngineer {
         m.loser_rank_points = parseInteger(get(c, idx, "loser_rank_points"));
 
         m.score = get(c, idx, "score");
+        m.parsed_score = ParsedScore.parse(m.score); // parse once here, reused by every feature row
         m.best_of = parseInteger(get(c, idx, "best_of"));
         m.round = get(c, idx, "round");
         m.minutes = parseInteger(get(c, idx, "minutes"));
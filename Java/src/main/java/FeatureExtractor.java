@@ -0,0 +1,53 @@
+// FeatureExtractor.java
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A named group of feature columns computed from one match.
+ * Each extractor declares the columns it writes (in order) and the transformer
+ * state it reads, so the pipeline can skip maintaining state nobody needs.
+ */
+public interface FeatureExtractor {
+
+    /** Transformer state an extractor depends on. */
+    enum Requirement {
+        HISTORY, // per-player recent results, updated after every match
+        H2H,     // head-to-head win counts, updated after every match
+        ELO      // EloEngine ratings, updated after every match
+    }
+
+    @FunctionalInterface
+    interface Fn {
+        void extract(MatchFeatures m, boolean winnerIsPlayer1, float[] out, int offset);
+    }
+
+    String name();
+
+    List<String> columns();
+
+    Set<Requirement> requires();
+
+    /**
+     * Write columns().size() values into out starting at offset.
+     * Player1 is the winner if winnerIsPlayer1 == true.
+     */
+    void extract(MatchFeatures m, boolean winnerIsPlayer1, float[] out, int offset);
+
+    static FeatureExtractor of(String name, List<String> columns, Set<Requirement> requires, Fn fn) {
+        List<String> cols = List.copyOf(columns);
+        Set<Requirement> reqs = requires.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(requires));
+        return new FeatureExtractor() {
+            @Override public String name() { return name; }
+            @Override public List<String> columns() { return cols; }
+            @Override public Set<Requirement> requires() { return reqs; }
+            @Override public void extract(MatchFeatures m, boolean winnerIsPlayer1, float[] out, int offset) {
+                fn.extract(m, winnerIsPlayer1, out, offset);
+            }
+            @Override public String toString() { return "FeatureExtractor[" + name + " " + cols + "]"; }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+// FeatureRegistry.java
+import java.util.*;
+
+/**
+ * FeatureRegistry keeps feature extractors in registration order and resolves
+ * a list of selected column names into a Plan: which extractors to run,
+ * which of their columns to keep, and which transformer state must be maintained.
+ * Column names are owned by the extractors, so names and values cannot drift apart.
+ */
+public class FeatureRegistry {
+    private final Map<String, FeatureExtractor> extractors = new LinkedHashMap<>();
+    private final Map<String, FeatureExtractor> columnOwners = new HashMap<>();
+
+    public FeatureRegistry register(FeatureExtractor fx) {
+        if (extractors.containsKey(fx.name()))
+            throw new IllegalArgumentException("Duplicate extractor: " + fx.name());
+        for (String c : fx.columns()) {
+            if (columnOwners.containsKey(c))
+                throw new IllegalArgumentException("Column " + c + " already provided by " + columnOwners.get(c).name());
+        }
+        extractors.put(fx.name(), fx);
+        for (String c : fx.columns()) columnOwners.put(c, fx);
+        return this;
+    }
+
+    public Collection<FeatureExtractor> getExtractors() {
+        return Collections.unmodifiableCollection(extractors.values());
+    }
+
+    // All column names in registration order
+    public List<String> getColumnNames() {
+        List<String> names = new ArrayList<>();
+        for (FeatureExtractor fx : extractors.values()) names.addAll(fx.columns());
+        return names;
+    }
+
+    /**
+     * Build a plan for the given columns (null = every registered column).
+     * Output column order follows registration order, not the order of the selection.
+     */
+    public Plan plan(Collection<String> selectedColumns) {
+        Set<String> selected = null;
+        if (selectedColumns != null) {
+            selected = new HashSet<>(selectedColumns);
+            for (String c : selected) {
+                if (!columnOwners.containsKey(c)) throw new IllegalArgumentException("Unknown feature: " + c);
+            }
+        }
+
+        List<FeatureExtractor> chosen = new ArrayList<>();
+        List<int[]> keep = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        EnumSet<FeatureExtractor.Requirement> reqs = EnumSet.noneOf(FeatureExtractor.Requirement.class);
+        int maxWidth = 0;
+
+        for (FeatureExtractor fx : extractors.values()) {
+            List<String> cols = fx.columns();
+            int[] idx = new int[cols.size()];
+            int n = 0;
+            for (int i = 0; i < cols.size(); i++) {
+                if (selected == null || selected.contains(cols.get(i))) {
+                    idx[n++] = i;
+                    names.add(cols.get(i));
+                }
+            }
+            if (n == 0) continue;
+            chosen.add(fx);
+            keep.add(n == cols.size() ? null : Arrays.copyOf(idx, n)); // null = keep every column
+            reqs.addAll(fx.requires());
+            maxWidth = Math.max(maxWidth, cols.size());
+        }
+        return new Plan(chosen, keep, names, reqs, maxWidth);
+    }
+
+    /** Resolved set of extractors and kept columns; fills one feature row per call. */
+    public static class Plan {
+        private final FeatureExtractor[] extractors;
+        private final int[][] keep;
+        private final List<String> columnNames;
+        private final Set<FeatureExtractor.Requirement> requirements;
+        private final float[] scratch;
+
+        private Plan(List<FeatureExtractor> extractors, List<int[]> keep, List<String> columnNames,
+                     Set<FeatureExtractor.Requirement> requirements, int maxWidth) {
+            this.extractors = extractors.toArray(new FeatureExtractor[0]);
+            this.keep = keep.toArray(new int[0][]);
+            this.columnNames = Collections.unmodifiableList(columnNames);
+            this.requirements = requirements.isEmpty()
+                    ? Collections.emptySet()
+                    : Collections.unmodifiableSet(EnumSet.copyOf(requirements));
+            this.scratch = new float[maxWidth];
+        }
+
+        public int width() { return columnNames.size(); }
+        public List<String> getColumnNames() { return columnNames; }
+        public boolean requires(FeatureExtractor.Requirement r) { return requirements.contains(r); }
+
+        // Not thread-safe: partially selected extractors share one scratch buffer.
+        public float[] buildRow(MatchFeatures m, boolean winnerIsPlayer1) {
+            float[] row = new float[width()];
+            int pos = 0;
+            for (int e = 0; e < extractors.length; e++) {
+                FeatureExtractor fx = extractors[e];
+                int[] k = keep[e];
+                if (k == null) {
+                    fx.extract(m, winnerIsPlayer1, row, pos);
+                    pos += fx.columns().size();
+                } else {
+                    fx.extract(m, winnerIsPlayer1, scratch, 0);
+                    for (int i : k) row[pos++] = scratch[i];
+                }
+            }
+            return row;
+        }
+    }
+}
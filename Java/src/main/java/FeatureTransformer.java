@@ -13,6 +13,8 @@ import java.util.*;
 /**
  * FeatureTransformer builds numeric feature rows from MatchFeatures,
  * does date conversion, imputes NaNs with column means, and returns a DMatrix.
+ * Columns come from a FeatureRegistry of named extractors; pass a list of
+ * selected feature names to compute only those.
  */
 public class FeatureTransformer {
     private final Map<String, Integer> surfaceMap = Map.of("Hard",0,"Clay",1,"Grass",2,"Carpet",3);
@@ -26,46 +28,86 @@ public class FeatureTransformer {
     private final Map<String, Map<String, Integer>> h2hWins = new HashMap<>();
     private final boolean symmetricAugmentation;
 
+    private final FeatureRegistry registry = new FeatureRegistry();
+    private final List<String> selectedFeatures; // null = all registered columns
+    private FeatureRegistry.Plan plan;
+
+    private EloParams eloParams = EloParams.DEFAULT;
+    private EloEngine eloEngine; // single configuration, created on first use
+    private final Map<String, Integer> eloIndex = new HashMap<>();
+    private List<MatchFeatures> eloHistory; // earlier matches replayed before featurizing, may be null
+    private boolean eloWarm;
+
     public FeatureTransformer(Map<String, PlayerHistory> playerHistories) {
         this(playerHistories, true);
     }
 
     public FeatureTransformer(Map<String, PlayerHistory> playerHistories, boolean symmetricAugmentation) {
+        this(playerHistories, symmetricAugmentation, null);
+    }
+
+    /**
+     * selectedFeatures: column names to compute (e.g. a pruned set from feature importance), null = all.
+     * Only extractors owning a selected column run, and history/h2h state is only
+     * maintained when a selected extractor needs it. Names are checked when the plan is first
+     * built (first transform / getFeatureNames), so custom extractors registered after
+     * construction can be selected too.
+     */
+    public FeatureTransformer(Map<String, PlayerHistory> playerHistories, boolean symmetricAugmentation,
+                              Collection<String> selectedFeatures) {
         this.playerHistories = new HashMap<>(playerHistories);
         this.symmetricAugmentation = symmetricAugmentation;
+        this.selectedFeatures = selectedFeatures == null ? null : new ArrayList<>(selectedFeatures);
+        registerDefaultExtractors();
+    }
+
+    // Add a custom extractor; its columns are appended after the built-in ones.
+    public void registerExtractor(FeatureExtractor fx) {
+        registry.register(fx);
+        plan = null;
+    }
+
+    // Elo configuration for the elo_* features, e.g. the best result of EloSweep. Resets Elo state.
+    public void setEloParams(EloParams params) {
+        this.eloParams = Objects.requireNonNull(params);
+        resetElo();
+    }
+
+    /**
+     * Warm-start Elo from a longer history (e.g. FeatureEngineer.loadAll of every yearly CSV).
+     * Matches dated strictly before the first featurized match are replayed, in EloSweep's order,
+     * before any row is built, so elo_* columns are not cold-start 1500 ratings. Resets Elo state.
+     */
+    public void setEloHistory(List<MatchFeatures> history) {
+        this.eloHistory = history;
+        resetElo();
+    }
+
+    private void resetElo() {
+        this.eloEngine = null;
+        this.eloIndex.clear();
+        this.eloWarm = false;
+    }
+
+    private FeatureRegistry.Plan plan() {
+        if (plan == null) plan = registry.plan(selectedFeatures);
+        return plan;
     }
 
     /**
      * Main entry: transform matches -> DMatrix (with labels).
      * Steps:
      *  - build IOC map
-     *  - iterate matches chronologically, compute feature rows (winner-first and optionally swapped)
+     *  - sort matches chronologically (EloHistory.CHRONOLOGICAL, the order EloSweep tunes on);
+     *    rows follow that order, not the input order
+     *  - iterate matches, compute feature rows (winner-first and optionally swapped)
      *  - update histories/h2h after each match (no leakage)
      *  - impute column means for NaNs
      *  - return DMatrix with labels
      */
     public DMatrix transformToDMatrix(List<MatchFeatures> matches) throws IOException, XGBoostError {
-        if (matches == null || matches.isEmpty()) throw new IllegalArgumentException("No matches provided.");
-        buildIocMap(matches);
-
-        List<float[]> rows = new ArrayList<>();
         List<Float> labels = new ArrayList<>();
-
-        for (MatchFeatures m : matches) {
-            // winner-first row (label = 1)
-            List<Float> fvWin = buildFeaturesForPair(m, true);
-            rows.add(listToFloatArray(fvWin));
-            labels.add(1.0f);
-
-            if (symmetricAugmentation) {
-                List<Float> fvLose = buildFeaturesForPair(m, false);
-                rows.add(listToFloatArray(fvLose));
-                labels.add(0.0f);
-            }
-
-            // update histories after computing features (prevent leakage)
-            updateHistoriesWithMatch(m);
-        }
+        List<float[]> rows = buildRows(matches, labels);
 
         if (rows.isEmpty()) throw new IllegalStateException("No feature rows produced.");
 
@@ -112,103 +154,220 @@ public class FeatureTransformer {
         return dmat;
     }
 
-    // Build features for a pair (player1 = winner if winnerIsPlayer1==true)
-    private List<Float> buildFeaturesForPair(MatchFeatures m, boolean winnerIsPlayer1) {
-        List<Float> f = new ArrayList<>();
+    // Raw (un-imputed) feature rows in chronological order; labels receives one label per row
+    List<float[]> buildRows(List<MatchFeatures> matches, List<Float> labels) {
+        if (matches == null || matches.isEmpty()) throw new IllegalArgumentException("No matches provided.");
+        buildIocMap(matches);
+
+        // yearly CSVs are not strictly ordered by date; history/h2h/elo state must be replayed in time order
+        List<MatchFeatures> ordered = new ArrayList<>(matches);
+        ordered.sort(EloHistory.CHRONOLOGICAL);
 
-        String p1Id = winnerIsPlayer1 ? m.getWinner_id() : m.getLoser_id();
-        String p2Id = winnerIsPlayer1 ? m.getLoser_id() : m.getWinner_id();
+        FeatureRegistry.Plan plan = plan();
+        if (plan.width() == 0) throw new IllegalStateException("No features selected.");
+        if (plan.requires(FeatureExtractor.Requirement.ELO)) warmStartElo(ordered.get(0));
 
-        // --- Tournament metadata (we convert date into days-since-epoch + year + month)
-        add(f, encode(surfaceMap, m.getSurface()));
-        add(f, safeFloat(m.getDraw_size()));
-        add(f, encode(tourneyLevelMap, m.getTourney_level()));
+        List<float[]> rows = new ArrayList<>();
+        for (MatchFeatures m : ordered) {
+            // winner-first row (label = 1)
+            rows.add(plan.buildRow(m, true));
+            labels.add(1.0f);
+
+            if (symmetricAugmentation) {
+                rows.add(plan.buildRow(m, false));
+                labels.add(0.0f);
+            }
+
+            // update histories after computing features (prevent leakage)
+            updateHistoriesWithMatch(m);
+        }
+        return rows;
+    }
+
+    // Built-in extractors, in column order (player1 = winner if winnerIsPlayer1==true)
+    private void registerDefaultExtractors() {
+        Set<FeatureExtractor.Requirement> none = EnumSet.noneOf(FeatureExtractor.Requirement.class);
+
+        // --- Tournament metadata
+        registry.register(FeatureExtractor.of("tourney",
+                List.of("surface_enc", "draw_size", "tourney_level_enc"), none,
+                (m, w, out, o) -> {
+                    out[o] = encode(surfaceMap, m.getSurface());
+                    out[o + 1] = safeFloat(m.getDraw_size());
+                    out[o + 2] = encode(tourneyLevelMap, m.getTourney_level());
+                }));
 
         // convert tourney_date int YYYYMMDD to epochDays/year/month
-        int ymd = m.getTourney_date() == null ? -1 : m.getTourney_date();
-        long daysSinceEpoch = convertYyyymmddToEpochDays(ymd);
-        int year = extractYear(ymd);
-        int month = extractMonth(ymd);
-        add(f, (float) daysSinceEpoch); // days since epoch (large int fits in float for modern years)
-        add(f, (float) year);
-        add(f, (float) month);
-
-        add(f, safeFloat(m.getMatch_num()));
-        add(f, safeFloat(m.getBest_of()));
-        add(f, encode(roundMap, m.getRound()));
-
-        // Player1 basic
-        add(f, safeFloat(winnerIsPlayer1 ? m.getWinner_seed() : m.getLoser_seed()));
-        add(f, encode(entryMap, winnerIsPlayer1 ? m.getWinner_entry() : m.getLoser_entry()));
-        add(f, encode(handMap, winnerIsPlayer1 ? m.getWinner_hand() : m.getLoser_hand()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getWinner_ht() : m.getLoser_ht()));
-        add(f, safeFloat(encodeIoc(winnerIsPlayer1 ? m.getWinner_ioc() : m.getLoser_ioc())));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getWinner_age() : m.getLoser_age()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getWinner_rank() : m.getLoser_rank()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getWinner_rank_points() : m.getLoser_rank_points()));
-
-        // Player2 basic
-        add(f, safeFloat(winnerIsPlayer1 ? m.getLoser_seed() : m.getWinner_seed()));
-        add(f, encode(entryMap, winnerIsPlayer1 ? m.getLoser_entry() : m.getWinner_entry()));
-        add(f, encode(handMap, winnerIsPlayer1 ? m.getLoser_hand() : m.getWinner_hand()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getLoser_ht() : m.getWinner_ht()));
-        add(f, safeFloat(encodeIoc(winnerIsPlayer1 ? m.getLoser_ioc() : m.getWinner_ioc())));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getLoser_age() : m.getWinner_age()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getLoser_rank() : m.getWinner_rank()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getLoser_rank_points() : m.getWinner_rank_points()));
+        registry.register(FeatureExtractor.of("tourney_date",
+                List.of("tourney_date_days", "tourney_date_year", "tourney_date_month"), none,
+                (m, w, out, o) -> {
+                    int ymd = m.getTourney_date() == null ? -1 : m.getTourney_date();
+                    out[o] = (float) convertYyyymmddToEpochDays(ymd); // large int fits in float for modern years
+                    out[o + 1] = (float) extractYear(ymd);
+                    out[o + 2] = (float) extractMonth(ymd);
+                }));
+
+        registry.register(FeatureExtractor.of("match",
+                List.of("match_num", "best_of", "round_enc"), none,
+                (m, w, out, o) -> {
+                    out[o] = safeFloat(m.getMatch_num());
+                    out[o + 1] = safeFloat(m.getBest_of());
+                    out[o + 2] = encode(roundMap, m.getRound());
+                }));
+
+        // Player basics
+        registry.register(FeatureExtractor.of("p1_basic",
+                List.of("p1_seed","p1_entry_enc","p1_hand_enc","p1_ht","p1_ioc_enc","p1_age","p1_rank","p1_rank_points"), none,
+                (m, w, out, o) -> writePlayerBasic(m, w, out, o)));
+        registry.register(FeatureExtractor.of("p2_basic",
+                List.of("p2_seed","p2_entry_enc","p2_hand_enc","p2_ht","p2_ioc_enc","p2_age","p2_rank","p2_rank_points"), none,
+                (m, w, out, o) -> writePlayerBasic(m, !w, out, o)));
 
         // Match stats - common field minutes
-        add(f, safeFloat(m.getMinutes()));
-
-        // Player1 match stats
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_ace() : m.getL_ace()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_df() : m.getL_df()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_svpt() : m.getL_svpt()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_1stIn() : m.getL_1stIn()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_1stWon() : m.getL_1stWon()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_2ndWon() : m.getL_2ndWon()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_SvGms() : m.getL_SvGms()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_bpSaved() : m.getL_bpSaved()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getW_bpFaced() : m.getL_bpFaced()));
-
-        // Player2 match stats (opposite)
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_ace() : m.getW_ace()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_df() : m.getW_df()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_svpt() : m.getW_svpt()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_1stIn() : m.getW_1stIn()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_1stWon() : m.getW_1stWon()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_2ndWon() : m.getW_2ndWon()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_SvGms() : m.getW_SvGms()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_bpSaved() : m.getW_bpSaved()));
-        add(f, safeFloat(winnerIsPlayer1 ? m.getL_bpFaced() : m.getW_bpFaced()));
+        registry.register(FeatureExtractor.of("minutes", List.of("minutes"), none,
+                (m, w, out, o) -> out[o] = safeFloat(m.getMinutes())));
+
+        registry.register(FeatureExtractor.of("p1_stats",
+                List.of("p1_ace","p1_df","p1_svpt","p1_1stIn","p1_1stWon","p1_2ndWon","p1_SvGms","p1_bpSaved","p1_bpFaced"), none,
+                (m, w, out, o) -> writePlayerStats(m, w, out, o)));
+        registry.register(FeatureExtractor.of("p2_stats",
+                List.of("p2_ace","p2_df","p2_svpt","p2_1stIn","p2_1stWon","p2_2ndWon","p2_SvGms","p2_bpSaved","p2_bpFaced"), none,
+                (m, w, out, o) -> writePlayerStats(m, !w, out, o)));
 
         // H2H and form (use current history state)
-        add(f, getH2hWinRate(p1Id, p2Id));
-        add(f, getPlayerForm(p1Id, 10));
-        add(f, getPlayerForm(p2Id, 10));
+        registry.register(FeatureExtractor.of("h2h", List.of("h2h_p1_vs_p2"),
+                EnumSet.of(FeatureExtractor.Requirement.H2H),
+                (m, w, out, o) -> out[o] = getH2hWinRate(playerId(m, w), playerId(m, !w))));
+        registry.register(FeatureExtractor.of("form", List.of("p1_form", "p2_form"),
+                EnumSet.of(FeatureExtractor.Requirement.HISTORY),
+                (m, w, out, o) -> {
+                    out[o] = getPlayerForm(playerId(m, w), 10);
+                    out[o + 1] = getPlayerForm(playerId(m, !w), 10);
+                }));
 
         // Score features
-        float[] sf = extractScoreFeatures(m.getScore());
-        for (float v : sf) add(f, v);
+        registry.register(FeatureExtractor.of("score",
+                List.of("setsW_pct","setsL_pct","gamesW_pct","gamesL_pct","tiebreak_ratio","retired_flag"),
+                none,
+                (m, w, out, o) -> writeScoreFeatures(m.getParsedScore(), out, o)));
+        registry.register(FeatureExtractor.of("score_sets",
+                List.of("n_sets","first_set_won","tiebreaks_won_pct","tiebreak_points_pct","match_tiebreak_flag","termination_enc"),
+                none,
+                (m, w, out, o) -> writeSetFeatures(m.getParsedScore(), out, o)));
+
+        // Elo (surface-blended, decayed to the match date) from EloEngine
+        registry.register(FeatureExtractor.of("elo",
+                List.of("p1_elo", "p2_elo", "elo_diff", "elo_win_prob"),
+                EnumSet.of(FeatureExtractor.Requirement.ELO),
+                (m, w, out, o) -> {
+                    int s = EloEngine.surfaceIndex(m.getSurface());
+                    int day = matchDay(m);
+                    float r1 = eloRating(playerId(m, w), s, day);
+                    float r2 = eloRating(playerId(m, !w), s, day);
+                    out[o] = r1;
+                    out[o + 1] = r2;
+                    out[o + 2] = r1 - r2;
+                    out[o + 3] = (float) EloEngine.expected(r1, r2);
+                }));
+
+        // p1 surface-only elo from the same engine
+        registry.register(FeatureExtractor.of("surface_elo", List.of("p1_surface_elo"),
+                EnumSet.of(FeatureExtractor.Requirement.ELO),
+                (m, w, out, o) -> {
+                    String id = playerId(m, w);
+                    Integer p = id == null ? null : eloIndex.get(id);
+                    out[o] = p == null ? 1500f : eloEngine().surfaceRating(p, EloEngine.surfaceIndex(m.getSurface()), matchDay(m), 0);
+                }));
+    }
 
-        // p1 surface elo (current)
-        PlayerHistory ph = playerHistories.get(p1Id);
-        double se = ph == null ? 1500.0 : ph.surfaceElo.getOrDefault(m.getSurface(), 1500.0);
-        add(f, (float) se);
+    private void writePlayerBasic(MatchFeatures m, boolean winner, float[] out, int o) {
+        out[o] = safeFloat(winner ? m.getWinner_seed() : m.getLoser_seed());
+        out[o + 1] = encode(entryMap, winner ? m.getWinner_entry() : m.getLoser_entry());
+        out[o + 2] = encode(handMap, winner ? m.getWinner_hand() : m.getLoser_hand());
+        out[o + 3] = safeFloat(winner ? m.getWinner_ht() : m.getLoser_ht());
+        out[o + 4] = encodeIoc(winner ? m.getWinner_ioc() : m.getLoser_ioc());
+        out[o + 5] = safeFloat(winner ? m.getWinner_age() : m.getLoser_age());
+        out[o + 6] = safeFloat(winner ? m.getWinner_rank() : m.getLoser_rank());
+        out[o + 7] = safeFloat(winner ? m.getWinner_rank_points() : m.getLoser_rank_points());
+    }
 
-        return f;
+    private void writePlayerStats(MatchFeatures m, boolean winner, float[] out, int o) {
+        out[o] = safeFloat(winner ? m.getW_ace() : m.getL_ace());
+        out[o + 1] = safeFloat(winner ? m.getW_df() : m.getL_df());
+        out[o + 2] = safeFloat(winner ? m.getW_svpt() : m.getL_svpt());
+        out[o + 3] = safeFloat(winner ? m.getW_1stIn() : m.getL_1stIn());
+        out[o + 4] = safeFloat(winner ? m.getW_1stWon() : m.getL_1stWon());
+        out[o + 5] = safeFloat(winner ? m.getW_2ndWon() : m.getL_2ndWon());
+        out[o + 6] = safeFloat(winner ? m.getW_SvGms() : m.getL_SvGms());
+        out[o + 7] = safeFloat(winner ? m.getW_bpSaved() : m.getL_bpSaved());
+        out[o + 8] = safeFloat(winner ? m.getW_bpFaced() : m.getL_bpFaced());
+    }
+
+    private String playerId(MatchFeatures m, boolean winner) {
+        return winner ? m.getWinner_id() : m.getLoser_id();
     }
 
     // --- helpers and utilities ---
 
+    // Only maintain the state some selected extractor actually reads
     private void updateHistoriesWithMatch(MatchFeatures m) {
-        playerHistories.putIfAbsent(m.getWinner_id(), new PlayerHistory());
-        playerHistories.putIfAbsent(m.getLoser_id(), new PlayerHistory());
-        playerHistories.get(m.getWinner_id()).addSurfaceMatch(m.getSurface(), true);
-        playerHistories.get(m.getLoser_id()).addSurfaceMatch(m.getSurface(), false);
+        FeatureRegistry.Plan plan = plan();
+        if (plan.requires(FeatureExtractor.Requirement.HISTORY)) {
+            playerHistories.putIfAbsent(m.getWinner_id(), new PlayerHistory());
+            playerHistories.putIfAbsent(m.getLoser_id(), new PlayerHistory());
+            playerHistories.get(m.getWinner_id()).addMatch(true);
+            playerHistories.get(m.getLoser_id()).addMatch(false);
+        }
+
+        if (plan.requires(FeatureExtractor.Requirement.H2H)) {
+            h2hWins.putIfAbsent(m.getWinner_id(), new HashMap<>());
+            h2hWins.get(m.getWinner_id()).merge(m.getLoser_id(), 1, Integer::sum);
+        }
+
+        // same filtering as EloHistory: walkovers do not move ratings
+        if (plan.requires(FeatureExtractor.Requirement.ELO)
+                && m.getWinner_id() != null && m.getLoser_id() != null
+                && m.getParsedScore().termination != ParsedScore.END_WALKOVER) {
+            EloEngine engine = eloEngine();
+            int w = eloPlayer(m.getWinner_id()), l = eloPlayer(m.getLoser_id());
+            engine.ensurePlayers(eloIndex.size());
+            engine.play(w, l, EloEngine.surfaceIndex(m.getSurface()), matchDay(m),
+                    EloHistory.marginOfVictory(m.getParsedScore()), null, null);
+        }
+    }
+
+    // Replay the Elo history up to (not including) the first featurized match date, once
+    private void warmStartElo(MatchFeatures first) {
+        if (eloWarm) return;
+        eloWarm = true;
+        if (eloHistory == null || eloHistory.isEmpty()) return;
+
+        EloHistory h = EloHistory.build(eloHistory);
+        int end = h.indexOfDate(first.getTourney_date() == null ? 0 : first.getTourney_date());
+        eloIndex.clear();
+        for (int p = 0; p < h.playerCount(); p++) eloIndex.put(h.playerId(p), p); // engine index = history index
+        eloEngine = new EloEngine(List.of(eloParams), h.playerCount());
+        for (int i = 0; i < end; i++) {
+            eloEngine.play(h.winner[i], h.loser[i], h.surface[i], h.day[i], h.margin[i], null, null);
+        }
+    }
 
-        h2hWins.putIfAbsent(m.getWinner_id(), new HashMap<>());
-        h2hWins.get(m.getWinner_id()).merge(m.getLoser_id(), 1, Integer::sum);
+    private int matchDay(MatchFeatures m) {
+        return EloHistory.epochDay(m.getTourney_date() == null ? -1 : m.getTourney_date());
+    }
+
+    private EloEngine eloEngine() {
+        if (eloEngine == null) eloEngine = new EloEngine(List.of(eloParams), 1024);
+        return eloEngine;
+    }
+
+    private int eloPlayer(String id) {
+        return eloIndex.computeIfAbsent(id, k -> eloIndex.size());
+    }
+
+    private float eloRating(String playerId, int surface, int day) {
+        Integer p = playerId == null ? null : eloIndex.get(playerId);
+        return p == null ? 1500f : eloEngine().rating(p, surface, day, 0);
     }
 
     private float getH2hWinRate(String p1, String p2) {
@@ -224,12 +383,6 @@ public class FeatureTransformer {
         return ph == null ? 0.5f : (float) ph.recentWinRate(lastN);
     }
 
-    private float[] listToFloatArray(List<Float> list) {
-        float[] a = new float[list.size()];
-        for (int i = 0; i < list.size(); i++) a[i] = list.get(i);
-        return a;
-    }
-
     private void buildIocMap(List<MatchFeatures> matches) {
         int counter = iocMap.size();
         for (MatchFeatures m : matches) {
@@ -240,10 +393,6 @@ public class FeatureTransformer {
         }
     }
 
-    private void add(List<Float> dest, Number v) {
-        dest.add(v == null ? Float.NaN : v.floatValue());
-    }
-
     private float safeFloat(Number n) {
         return n == null ? Float.NaN : n.floatValue();
     }
@@ -284,73 +433,73 @@ public class FeatureTransformer {
         return yyyymmdd % 100;
     }
 
-    // Score parser - returns 6 features (same as before)
-    private float[] extractScoreFeatures(String score) {
-        if (score == null || score.isEmpty()) {
-            return new float[]{Float.NaN, Float.NaN, Float.NaN, Float.NaN, Float.NaN, 0f};
-        }
-        int setsW = 0, setsL = 0;
-        int gamesW = 0, gamesL = 0;
-        int tiebreaks = 0, ret = 0;
-        String[] parts = score.split(" ");
-        for (String set : parts) {
-            if (set.equalsIgnoreCase("RET") || set.equalsIgnoreCase("W/O")) { ret = 1; continue; }
-            String[] g = set.split("-");
-            if (g.length >= 2) {
-                try {
-                    int a = Integer.parseInt(g[0].replaceAll("\\D",""));
-                    int b = Integer.parseInt(g[1].replaceAll("\\D",""));
-                    gamesW += a; gamesL += b;
-                    if (a > b) setsW++; else setsL++;
-                    if (set.contains("(")) tiebreaks++;
-                } catch (NumberFormatException ignored) {}
-            }
+    // Score features - 6 columns, from the winner's perspective
+    private void writeScoreFeatures(ParsedScore ps, float[] out, int o) {
+        if (!ps.isPresent()) {
+            out[o] = Float.NaN; out[o + 1] = Float.NaN; out[o + 2] = Float.NaN;
+            out[o + 3] = Float.NaN; out[o + 4] = Float.NaN; out[o + 5] = 0f;
+            return;
         }
+        int setsW = ps.setsWon(), setsL = ps.setsLost();
+        int gamesW = ps.gamesWon(), gamesL = ps.gamesLost();
         float totalSets = setsW + setsL;
         float totalGames = gamesW + gamesL;
-        return new float[]{
-                totalSets > 0 ? (float)setsW/totalSets : Float.NaN,
-                totalSets > 0 ? (float)setsL/totalSets : Float.NaN,
-                totalGames > 0 ? (float)gamesW/totalGames : Float.NaN,
-                totalGames > 0 ? (float)gamesL/totalGames : Float.NaN,
-                totalSets > 0 ? (float)tiebreaks/totalSets : 0f,
-                (float)ret
-        };
+        out[o] = totalSets > 0 ? setsW / totalSets : Float.NaN;
+        out[o + 1] = totalSets > 0 ? setsL / totalSets : Float.NaN;
+        out[o + 2] = totalGames > 0 ? gamesW / totalGames : Float.NaN;
+        out[o + 3] = totalGames > 0 ? gamesL / totalGames : Float.NaN;
+        out[o + 4] = totalSets > 0 ? ps.tiebreaks() / totalSets : 0f;
+        out[o + 5] = ps.isRetiredOrWalkover() ? 1f : 0f;
+    }
+
+    // Set-level score features - 6 columns, from the winner's perspective
+    private void writeSetFeatures(ParsedScore ps, float[] out, int o) {
+        int n = ps.nSets;
+        out[o] = ps.isPresent() ? n : Float.NaN;
+        out[o + 1] = n > 0 ? (ps.gamesW(0) > ps.gamesL(0) ? 1f : 0f) : Float.NaN;
+
+        int tbs = ps.tiebreaks();
+        out[o + 2] = tbs > 0 ? (float) ps.tiebreaksWon() / tbs : Float.NaN;
+
+        int ptsW = 0, ptsL = 0;
+        for (int k = 0; k < n; k++) {
+            if (ps.tbW(k) >= 0) { ptsW += ps.tbW(k); ptsL += ps.tbL(k); }
+        }
+        out[o + 3] = ptsW + ptsL > 0 ? (float) ptsW / (ptsW + ptsL) : Float.NaN;
+        out[o + 4] = ps.hasMatchTiebreak() ? 1f : 0f;
+        out[o + 5] = ps.termination;
     }
 
-    // Feature names (reflects added date components)
+    // Names of the selected feature columns, in the same order as the DMatrix columns
     public List<String> getFeatureNames() {
-        List<String> names = new ArrayList<>();
-        names.add("surface_enc");
-        names.add("draw_size");
-        names.add("tourney_level_enc");
-        names.add("tourney_date_days"); // converted
-        names.add("tourney_date_year");
-        names.add("tourney_date_month");
-        names.add("match_num");
-        names.add("best_of");
-        names.add("round_enc");
-        names.addAll(Arrays.asList("p1_seed","p1_entry_enc","p1_hand_enc","p1_ht","p1_ioc_enc","p1_age","p1_rank","p1_rank_points"));
-        names.addAll(Arrays.asList("p2_seed","p2_entry_enc","p2_hand_enc","p2_ht","p2_ioc_enc","p2_age","p2_rank","p2_rank_points"));
-        names.add("minutes");
-        names.addAll(Arrays.asList("p1_ace","p1_df","p1_svpt","p1_1stIn","p1_1stWon","p1_2ndWon","p1_SvGms","p1_bpSaved","p1_bpFaced"));
-        names.addAll(Arrays.asList("p2_ace","p2_df","p2_svpt","p2_1stIn","p2_1stWon","p2_2ndWon","p2_SvGms","p2_bpSaved","p2_bpFaced"));
-        names.addAll(Arrays.asList("h2h_p1_vs_p2","p1_form","p2_form"));
-        names.addAll(Arrays.asList("setsW_pct","setsL_pct","gamesW_pct","gamesL_pct","tiebreak_ratio","retired_flag"));
-        names.add("p1_surface_elo");
-        return names;
+        return plan().getColumnNames();
+    }
+
+    // Every column the registry can produce, regardless of selection
+    public List<String> getAvailableFeatureNames() {
+        return registry.getColumnNames();
     }
 
     public Map<String,Integer> getIocMap() { return Collections.unmodifiableMap(iocMap); }
 
-    // Persist encoders and feature names to disk (needs Gson on classpath)
+    // Maintained state, exposed for tests
+    Map<String, PlayerHistory> getPlayerHistories() { return Collections.unmodifiableMap(playerHistories); }
+    Map<String, Map<String, Integer>> getH2hWins() { return Collections.unmodifiableMap(h2hWins); }
+
+    // Persist encoders and feature names to disk (needs Gson on classpath).
+    // Only the Elo parameters are saved, not the ratings: at inference, rebuild the elo_* columns
+    // by replaying the history with setEloParams + setEloHistory.
     public void saveEncoders(Path outDir) throws IOException {
         if (!Files.exists(outDir)) Files.createDirectories(outDir);
         Gson g = new Gson();
         Files.writeString(outDir.resolve("ioc_map.json"), g.toJson(iocMap));
         Files.writeString(outDir.resolve("feature_names.json"), g.toJson(getFeatureNames()));
+        eloParams.save(outDir.resolve("elo_params.json"));
     }
     public List<Float> debugFeaturesForMatch(MatchFeatures m, boolean winnerIsPlayer1) {
-        return buildFeaturesForPair(m, winnerIsPlayer1); // buildFeaturesForPair is already implemented
+        float[] row = plan().buildRow(m, winnerIsPlayer1);
+        List<Float> f = new ArrayList<>(row.length);
+        for (float v : row) f.add(v);
+        return f;
     }
 }
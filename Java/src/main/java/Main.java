@@ -1,4 +1,5 @@
 import ml.dmlc.xgboost4j.java.DMatrix;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class Main {
@@ -12,6 +13,10 @@ public class Main {
         // Build transformer; symmetricAugmentation=true will produce two rows per match (balanced labels)
         FeatureTransformer ft = new FeatureTransformer(initialHist, true);
 
+        // Elo: parameters tuned by EloSweep.main, ratings warm-started from every earlier match
+        ft.setEloParams(EloParams.loadOrDefault(EloSweep.PARAMS_FILE));
+        ft.setEloHistory(FeatureEngineer.loadAll(Paths.get("Data/OriginalCSVs")));
+
         DMatrix dmat = ft.transformToDMatrix(fe.getMatches());
 
         MatchFeatures first = fe.getMatches().get(0);
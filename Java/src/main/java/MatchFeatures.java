@@ -50,6 +50,9 @@ public class MatchFeatures {
     public Integer l_bpSaved;
     public Integer l_bpFaced;
 
+    // Structured score, filled at ingest by FeatureEngineer (parsed lazily otherwise)
+    public ParsedScore parsed_score;
+
     public MatchFeatures() {
         // default constructor
     }
@@ -89,6 +92,10 @@ public class MatchFeatures {
     public Integer getLoser_rank_points() { return loser_rank_points; }
 
     public String getScore() { return score; }
+    public ParsedScore getParsedScore() {
+        if (parsed_score == null) parsed_score = ParsedScore.parse(score);
+        return parsed_score;
+    }
     public Integer getMinutes() { return minutes; }
 
     // Winner match stats getters (exact method names used in FeatureTransformer)
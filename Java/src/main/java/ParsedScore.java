@@ -0,0 +1,207 @@
+// ParsedScore.java
+import java.util.Arrays;
+
+/**
+ * Compact structured form of a score string such as "7-6(5) 3-6 6-2 RET".
+ * Everything is from the match winner's perspective (like the raw score column).
+ * Parsed once at ingest by a single char scan: no regex, no split, no substrings.
+ *
+ * All sets live in one packed byte[] of SET_STRIDE bytes per set:
+ * gamesW, gamesL, setType, tbW, tbL (tiebreak points, -1 if none/unknown).
+ * Values are clamped to Byte.MAX_VALUE.
+ */
+public final class ParsedScore {
+    // set types
+    public static final byte SET_NORMAL = 0;
+    public static final byte SET_TIEBREAK = 1;       // e.g. 7-6(5)
+    public static final byte SET_MATCH_TIEBREAK = 2; // e.g. [10-7], games hold the points
+
+    // termination types
+    public static final byte END_UNKNOWN = -1;   // missing / "NA"
+    public static final byte END_COMPLETED = 0;
+    public static final byte END_RETIRED = 1;    // RET
+    public static final byte END_WALKOVER = 2;   // W/O
+    public static final byte END_DEFAULT = 3;    // DEF
+    public static final byte END_ABANDONED = 4;  // WEA, ABN
+
+    private static final int SET_STRIDE = 5;
+    private static final int GAMES_W = 0, GAMES_L = 1, TYPE = 2, TB_W = 3, TB_L = 4;
+
+    public static final ParsedScore EMPTY = new ParsedScore(new byte[0], END_UNKNOWN, false);
+
+    public final int nSets;
+    public final byte termination;
+    private final byte[] sets;     // packed, SET_STRIDE bytes per set
+    private final boolean present; // false when the score column was empty
+
+    private ParsedScore(byte[] sets, byte termination, boolean present) {
+        this.sets = sets;
+        this.nSets = sets.length / SET_STRIDE;
+        this.termination = termination;
+        this.present = present;
+    }
+
+    public boolean isPresent() { return present; }
+
+    public int gamesW(int set) { return sets[set * SET_STRIDE + GAMES_W]; }
+    public int gamesL(int set) { return sets[set * SET_STRIDE + GAMES_L]; }
+    public byte setType(int set) { return sets[set * SET_STRIDE + TYPE]; }
+    public int tbW(int set) { return sets[set * SET_STRIDE + TB_W]; }
+    public int tbL(int set) { return sets[set * SET_STRIDE + TB_L]; }
+
+    /** Parse a raw score. Malformed set tokens are skipped, never thrown. */
+    public static ParsedScore parse(CharSequence s) {
+        if (s == null || s.length() == 0) return EMPTY;
+
+        // upper bound on sets: tokens that start like a set, so the packed array is allocated once
+        int len = s.length();
+        int candidates = 0;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if ((isDigit(c) || c == '[') && (i == 0 || s.charAt(i - 1) == ' ')) candidates++;
+        }
+
+        byte[] sets = new byte[candidates * SET_STRIDE];
+        int n = 0;
+        byte end = END_COMPLETED;
+
+        int i = 0;
+        while (i < len) {
+            // skip separators
+            while (i < len && s.charAt(i) == ' ') i++;
+            if (i >= len) break;
+            int start = i;
+            while (i < len && s.charAt(i) != ' ') i++;
+            int tokEnd = i;
+
+            char c0 = s.charAt(start);
+            if (isDigit(c0) || c0 == '[') {
+                if (parseSet(s, start, tokEnd, sets, n * SET_STRIDE)) n++;
+            } else {
+                byte t = terminationOf(s, start, tokEnd);
+                if (precedence(t) > precedence(end)) end = t; // e.g. "W/O RET" is a walkover
+            }
+        }
+        if (n == 0 && end == END_COMPLETED) end = END_UNKNOWN; // nothing recognisable, e.g. "NA"
+        if (n < candidates) sets = Arrays.copyOf(sets, n * SET_STRIDE); // only for malformed tokens
+        return new ParsedScore(sets, end, true);
+    }
+
+    // Parse one set token into sets[at..at+SET_STRIDE); returns false if it has no "a-b" part.
+    private static boolean parseSet(CharSequence s, int i, int end, byte[] sets, int at) {
+        byte t = SET_NORMAL;
+        if (s.charAt(i) == '[') { t = SET_MATCH_TIEBREAK; i++; }
+
+        int a = 0, b = 0, digits = 0;
+        while (i < end && isDigit(s.charAt(i))) { a = a * 10 + (s.charAt(i) - '0'); i++; digits++; }
+        if (digits == 0 || i >= end || s.charAt(i) != '-') return false;
+        i++;
+        digits = 0;
+        while (i < end && isDigit(s.charAt(i))) { b = b * 10 + (s.charAt(i) - '0'); i++; digits++; }
+        if (digits == 0) return false;
+
+        int tbLoser = -1;
+        if (i < end && s.charAt(i) == '(') {
+            t = SET_TIEBREAK;
+            i++;
+            int p = 0;
+            digits = 0;
+            while (i < end && isDigit(s.charAt(i))) { p = p * 10 + (s.charAt(i) - '0'); i++; digits++; }
+            if (digits > 0) tbLoser = p;
+        }
+
+        sets[at + GAMES_W] = clamp(a);
+        sets[at + GAMES_L] = clamp(b);
+        sets[at + TYPE] = t;
+        sets[at + TB_W] = -1;
+        sets[at + TB_L] = -1;
+        if (tbLoser >= 0) {
+            // the bracketed number is the set loser's points; the set winner needed 7 and a 2-point lead
+            byte loserPts = clamp(tbLoser);
+            byte winnerPts = clamp(Math.max(7, tbLoser + 2));
+            if (a > b) { sets[at + TB_W] = winnerPts; sets[at + TB_L] = loserPts; }
+            else { sets[at + TB_W] = loserPts; sets[at + TB_L] = winnerPts; }
+        }
+        return true;
+    }
+
+    // Classify a non-numeric token; surrounding parentheses are ignored, e.g. "(DEF)".
+    private static byte terminationOf(CharSequence s, int start, int end) {
+        if (end - start >= 2 && s.charAt(start) == '(' && s.charAt(end - 1) == ')') { start++; end--; }
+        if (matches(s, start, end, "RET")) return END_RETIRED;
+        if (matches(s, start, end, "W/O")) return END_WALKOVER;
+        if (matches(s, start, end, "DEF") || matches(s, start, end, "Def.")) return END_DEFAULT;
+        if (matches(s, start, end, "WEA") || matches(s, start, end, "ABN")) return END_ABANDONED;
+        return END_COMPLETED;
+    }
+
+    // When a score carries several markers the strongest wins: nothing played beats a disqualification,
+    // which beats a retirement, which beats an abandoned match
+    private static int precedence(byte termination) {
+        switch (termination) {
+            case END_WALKOVER: return 4;
+            case END_DEFAULT: return 3;
+            case END_RETIRED: return 2;
+            case END_ABANDONED: return 1;
+            default: return 0;
+        }
+    }
+
+    private static boolean matches(CharSequence s, int start, int end, String word) {
+        if (end - start != word.length()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toUpperCase(s.charAt(start + i)) != Character.toUpperCase(word.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    // --- derived values (winner perspective) ---
+
+    public int setsWon() {
+        int w = 0;
+        for (int k = 0; k < nSets; k++) if (gamesW(k) > gamesL(k)) w++;
+        return w;
+    }
+
+    // Unfinished/level sets count as lost, as the original split-based parser did
+    public int setsLost() { return nSets - setsWon(); }
+
+    public int gamesWon() {
+        int g = 0;
+        for (int k = 0; k < nSets; k++) g += gamesW(k);
+        return g;
+    }
+
+    public int gamesLost() {
+        int g = 0;
+        for (int k = 0; k < nSets; k++) g += gamesL(k);
+        return g;
+    }
+
+    public int tiebreaks() {
+        int t = 0;
+        for (int k = 0; k < nSets; k++) if (setType(k) == SET_TIEBREAK) t++;
+        return t;
+    }
+
+    public int tiebreaksWon() {
+        int t = 0;
+        for (int k = 0; k < nSets; k++) if (setType(k) == SET_TIEBREAK && gamesW(k) > gamesL(k)) t++;
+        return t;
+    }
+
+    public boolean hasMatchTiebreak() {
+        for (int k = 0; k < nSets; k++) if (setType(k) == SET_MATCH_TIEBREAK) return true;
+        return false;
+    }
+
+    // RET and W/O only, matching the historical retired_flag feature
+    public boolean isRetiredOrWalkover() {
+        return termination == END_RETIRED || termination == END_WALKOVER;
+    }
+
+    // --- small helpers ---
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+    private static byte clamp(int v) { return (byte) Math.min(v, Byte.MAX_VALUE); }
+}
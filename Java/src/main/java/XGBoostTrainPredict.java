@@ -1,6 +1,7 @@
 import ml.dmlc.xgboost4j.java.*;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -54,6 +55,10 @@ public class XGBoostTrainPredict {
         // Build transformer; symmetricAugmentation=true will produce two rows per match (balanced labels)
         FeatureTransformer ft = new FeatureTransformer(initialHist, true);
 
+        // Elo: parameters tuned by EloSweep.main, ratings warm-started from every earlier match
+        ft.setEloParams(EloParams.loadOrDefault(EloSweep.PARAMS_FILE));
+        ft.setEloHistory(FeatureEngineer.loadAll(Paths.get("Data/OriginalCSVs")));
+
         DMatrix dmat = ft.transformToDMatrix(fe.getMatches());
         return dmat;
     }
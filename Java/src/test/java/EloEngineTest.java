@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EloEngineTest {
+    private static final int HARD = 0;
+
+    @Test
+    void expectedIsSymmetric() {
+        assertEquals(0.5, EloEngine.expected(1500, 1500), 1e-12);
+        for (double d : new double[]{10, 100, 400, 800}) {
+            assertEquals(1.0, EloEngine.expected(1500 + d, 1500) + EloEngine.expected(1500, 1500 + d), 1e-12);
+        }
+        // 400 points = 10:1 odds
+        assertEquals(10.0 / 11.0, EloEngine.expected(1900, 1500), 1e-12);
+    }
+
+    @Test
+    void updatesAreZeroSum() {
+        EloEngine e = new EloEngine(List.of(new EloParams(32, 0.5, 0, 1.0)), 4);
+        e.play(0, 1, HARD, 100, 0.4f, null, null);
+        e.play(2, 0, HARD, 101, 0.1f, null, null);
+        e.play(1, 2, -1, 102, 0.0f, null, null);
+
+        float overall = 0, surface = 0;
+        for (int p = 0; p < 3; p++) {
+            overall += e.rating(p, -1, EloEngine.UNKNOWN_DAY, 0);
+            surface += e.surfaceRating(p, HARD, EloEngine.UNKNOWN_DAY, 0);
+        }
+        assertEquals(3 * 1500.0, overall, 1e-3);
+        assertEquals(3 * 1500.0, surface, 1e-3);
+    }
+
+    @Test
+    void firstMatchMovesByHalfK() {
+        EloEngine e = new EloEngine(List.of(new EloParams(32, 0.0, 0, 0)), 2);
+        e.play(0, 1, HARD, 0, 0f, null, null);
+        assertEquals(1516.0, e.rating(0, -1, EloEngine.UNKNOWN_DAY, 0), 1e-4);
+        assertEquals(1484.0, e.rating(1, -1, EloEngine.UNKNOWN_DAY, 0), 1e-4);
+    }
+
+    @Test
+    void decayPullsTowardsInitialRating() {
+        double decay = 0.5;
+        EloEngine e = new EloEngine(List.of(new EloParams(32, 0.0, decay, 0)), 2);
+        e.play(0, 1, HARD, 1000, 0f, null, null);
+        float before = e.rating(0, -1, 1000, 0);
+        assertEquals(1516.0, before, 1e-4);
+
+        int gap = 730; // two years idle
+        double f = Math.exp(-decay * gap / 365.25);
+        assertEquals(1500 + (before - 1500) * f, e.rating(0, -1, 1000 + gap, 0), 1e-3);
+        assertEquals(1500 + (1484 - 1500) * f, e.rating(1, -1, 1000 + gap, 0), 1e-3);
+
+        // no decay without a known gap, or when going back in time
+        assertEquals(before, e.rating(0, -1, EloEngine.UNKNOWN_DAY, 0), 1e-6);
+        assertEquals(before, e.rating(0, -1, 900, 0), 1e-6);
+    }
+
+    @Test
+    void lastDayOnlyMovesForward() {
+        EloEngine e = new EloEngine(List.of(new EloParams(32, 0.0, 1.0, 0)), 3);
+        e.play(0, 1, HARD, 1000, 0f, null, null);
+        e.play(0, 2, HARD, 500, 0f, null, null); // out of order: must not rewind player 0's last day
+        float r = e.rating(0, -1, 1000, 0);
+        assertTrue(r > 1500);
+        // gap is measured from day 1000, not day 500
+        double f = Math.exp(-1.0 * 365 / 365.25);
+        assertEquals(1500 + (r - 1500) * f, e.rating(0, -1, 1365, 0), 1e-3);
+    }
+
+    @Test
+    void marginMultiplierClampsAtZero() {
+        // margin -1 with movWeight 2 would give K * -1; clamped to 0 the ratings must not move
+        EloEngine e = new EloEngine(List.of(new EloParams(32, 0.5, 0, 2.0)), 2);
+        e.play(0, 1, HARD, 0, -1f, null, null);
+        assertEquals(1500.0, e.rating(0, HARD, EloEngine.UNKNOWN_DAY, 0), 1e-6);
+        assertEquals(1500.0, e.rating(1, HARD, EloEngine.UNKNOWN_DAY, 0), 1e-6);
+
+        // a positive margin scales K up
+        EloEngine m = new EloEngine(List.of(new EloParams(32, 0.0, 0, 1.0)), 2);
+        m.play(0, 1, HARD, 0, 0.5f, null, null);
+        assertEquals(1500 + 16 * 1.5, m.rating(0, -1, EloEngine.UNKNOWN_DAY, 0), 1e-4);
+    }
+
+    @Test
+    void paramsRejectNegativeMovWeight() {
+        assertThrows(IllegalArgumentException.class, () -> new EloParams(32, 0.5, 0, -0.1));
+    }
+
+    @Test
+    void logLossIsScoredBeforeTheUpdate() {
+        EloEngine e = new EloEngine(List.of(new EloParams(32, 0.5, 0, 0)), 2);
+        double[] loss = new double[1];
+        int[] correct = new int[1];
+        e.play(0, 1, HARD, 0, 0f, loss, correct);
+        assertEquals(Math.log(2), loss[0], 1e-12); // even ratings before the match: p = 0.5
+        assertEquals(0, correct[0]);
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EloHistoryTest {
+
+    @Test
+    void sortsByDateThenTournamentThenMatchNumber() {
+        List<MatchFeatures> in = List.of(
+                match("T2", 20240108, 1, "E", "F", "6-0 6-0"),
+                match("T1", 20240101, 2, "C", "D", "6-1 6-1"),
+                match("T0", 20240101, 5, "G", "H", "6-2 6-2"),
+                match("T1", 20240101, 1, "A", "B", "6-3 6-3"));
+
+        List<MatchFeatures> sorted = new ArrayList<>(in);
+        sorted.sort(EloHistory.CHRONOLOGICAL);
+        assertEquals("G", sorted.get(0).winner_id);
+        assertEquals("A", sorted.get(1).winner_id);
+        assertEquals("C", sorted.get(2).winner_id);
+        assertEquals("E", sorted.get(3).winner_id);
+
+        EloHistory h = EloHistory.build(in);
+        assertEquals(4, h.size);
+        assertEquals("G", h.playerId(h.winner[0]));
+        assertEquals("E", h.playerId(h.winner[3]));
+        assertEquals(20240108, h.date[3]);
+        assertEquals(3, h.indexOfDate(20240102));
+        assertEquals(3, h.indexOfDate(20240108));
+        assertEquals(0, h.indexOfDate(0));
+        assertEquals(4, h.indexOfDate(20250101));
+    }
+
+    @Test
+    void dropsWalkoversAndRowsWithoutPlayers() {
+        List<MatchFeatures> in = List.of(
+                match("T1", 20240101, 1, "A", "B", "W/O"),
+                match("T1", 20240101, 2, "C", "D", "W/O RET"),
+                match("T1", 20240101, 3, null, "D", "6-4 6-4"),
+                match("T1", 20240101, 4, "A", "C", "6-3 2-1 RET"));
+
+        EloHistory h = EloHistory.build(in);
+        assertEquals(1, h.size);
+        assertEquals("A", h.playerId(h.winner[0]));
+        assertEquals("C", h.playerId(h.loser[0]));
+        assertEquals(0f, h.margin[0]); // retirement: no margin of victory
+    }
+
+    @Test
+    void encodesSurfaceDayAndMargin() {
+        MatchFeatures m = match("T1", 19700102, 1, "A", "B", "6-4 6-2");
+        m.surface = "Clay";
+        EloHistory h = EloHistory.build(List.of(m));
+        assertEquals(1, h.surface[0]);
+        assertEquals(1, h.day[0]);
+        assertEquals((12f - 6f) / 18f, h.margin[0], 1e-6);
+
+        assertEquals(EloEngine.UNKNOWN_DAY, EloHistory.epochDay(0));
+        assertEquals(EloEngine.UNKNOWN_DAY, EloHistory.epochDay(20241340));
+    }
+
+    static MatchFeatures match(String tourney, int date, int num, String winner, String loser, String score) {
+        MatchFeatures m = new MatchFeatures();
+        m.tourney_id = tourney;
+        m.tourney_date = date;
+        m.match_num = num;
+        m.surface = "Hard";
+        m.winner_id = winner;
+        m.loser_id = loser;
+        m.score = score;
+        return m;
+    }
+}
@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EloSweepTest {
+
+    @Test
+    void blockSweepMatchesSingleConfigRuns() {
+        EloHistory h = EloHistory.build(randomMatches(400, 12, 7));
+        List<EloParams> grid = EloParams.grid(
+                new double[]{16, 40},
+                new double[]{0.0, 0.6},
+                new double[]{0.0, 0.5},
+                new double[]{0.0, 2.0});
+        int evalFrom = h.size / 4;
+
+        Map<String, EloSweep.Result> block = byParams(EloSweep.run(h, grid, evalFrom, grid.size()));
+        Map<String, EloSweep.Result> blocksOf3 = byParams(EloSweep.run(h, grid, evalFrom, 3));
+        for (EloParams p : grid) {
+            EloSweep.Result single = EloSweep.run(h, List.of(p), evalFrom, 1).get(0);
+            assertEquals(single.logLoss, block.get(p.toString()).logLoss, 1e-12, p.toString());
+            assertEquals(single.accuracy, block.get(p.toString()).accuracy, 1e-12, p.toString());
+            assertEquals(single.logLoss, blocksOf3.get(p.toString()).logLoss, 1e-12, p.toString());
+        }
+    }
+
+    @Test
+    void resultsAreSortedAndCountEvaluatedMatches() {
+        EloHistory h = EloHistory.build(randomMatches(200, 8, 3));
+        List<EloSweep.Result> results = EloSweep.run(h, EloSweep.defaultGrid(), 50);
+        assertEquals(EloSweep.defaultGrid().size(), results.size());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).logLoss <= results.get(i).logLoss);
+        }
+        assertEquals(h.size - 50, results.get(0).evaluated);
+    }
+
+    @Test
+    void rejectsEmptyGrid() {
+        EloHistory h = EloHistory.build(randomMatches(10, 4, 1));
+        assertThrows(IllegalArgumentException.class, () -> EloSweep.run(h, List.of(), 0));
+    }
+
+    private static Map<String, EloSweep.Result> byParams(List<EloSweep.Result> results) {
+        Map<String, EloSweep.Result> m = new HashMap<>();
+        for (EloSweep.Result r : results) m.put(r.params.toString(), r);
+        return m;
+    }
+
+    // Deterministic synthetic history: stronger (lower-numbered) players win more often
+    static List<MatchFeatures> randomMatches(int n, int players, long seed) {
+        Random rnd = new Random(seed);
+        String[] surfaces = {"Hard", "Clay", "Grass", "Carpet"};
+        List<MatchFeatures> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int a = rnd.nextInt(players), b = rnd.nextInt(players - 1);
+            if (b >= a) b++;
+            boolean aWins = rnd.nextDouble() < (a < b ? 0.7 : 0.3);
+            int g = rnd.nextInt(5);
+            LocalDate week = LocalDate.of(2020, 1, 1).plusWeeks(i / 10);
+            int date = week.getYear() * 10000 + week.getMonthValue() * 100 + week.getDayOfMonth();
+            MatchFeatures m = EloHistoryTest.match("T" + (i / 10), date, i % 10,
+                    "P" + (aWins ? a : b), "P" + (aWins ? b : a), "6-" + g + " 6-" + (4 - g));
+            m.surface = surfaces[rnd.nextInt(surfaces.length)];
+            out.add(m);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,142 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureTransformerTest {
+
+    @Test
+    void defaultColumnsComeFromTheRegistry() {
+        FeatureTransformer ft = new FeatureTransformer(new HashMap<>(), true);
+        List<String> names = ft.getFeatureNames();
+        assertEquals(64, names.size());
+        assertEquals("surface_enc", names.get(0));
+        assertEquals("h2h_p1_vs_p2", names.get(44));
+        assertEquals("setsW_pct", names.get(47));
+        assertEquals("p1_elo", names.get(59));
+        assertEquals("p1_surface_elo", names.get(63));
+        assertEquals(names.size(), new HashSet<>(names).size());
+        assertEquals(names, ft.getAvailableFeatureNames());
+
+        // one row per column
+        List<float[]> rows = ft.buildRows(sampleMatches(), new ArrayList<>());
+        assertEquals(64, rows.get(0).length);
+    }
+
+    @Test
+    void prunedRowsEqualProjectedFullRows() {
+        List<String> selected = List.of("p2_rank", "h2h_p1_vs_p2", "p1_form", "gamesW_pct", "elo_diff", "p1_surface_elo");
+
+        FeatureTransformer full = new FeatureTransformer(new HashMap<>(), true);
+        List<Float> fullLabels = new ArrayList<>();
+        List<float[]> fullRows = full.buildRows(sampleMatches(), fullLabels);
+
+        FeatureTransformer pruned = new FeatureTransformer(new HashMap<>(), true, selected);
+        List<Float> prunedLabels = new ArrayList<>();
+        List<float[]> prunedRows = pruned.buildRows(sampleMatches(), prunedLabels);
+
+        // output keeps registration order, not selection order
+        List<String> prunedNames = pruned.getFeatureNames();
+        assertEquals(new HashSet<>(selected), new HashSet<>(prunedNames));
+        assertEquals(fullLabels, prunedLabels);
+        assertEquals(fullRows.size(), prunedRows.size());
+
+        List<String> fullNames = full.getFeatureNames();
+        for (int r = 0; r < fullRows.size(); r++) {
+            for (int c = 0; c < prunedNames.size(); c++) {
+                float expected = fullRows.get(r)[fullNames.indexOf(prunedNames.get(c))];
+                assertEquals(0, Float.compare(expected, prunedRows.get(r)[c]),
+                        "row " + r + " column " + prunedNames.get(c));
+            }
+        }
+    }
+
+    @Test
+    void eloHistoryWarmStartMatchesOneFullPass() {
+        List<String> selected = List.of("p1_elo", "p2_elo", "elo_diff", "p1_surface_elo");
+        EloParams params = new EloParams(24, 0.5, 0.1, 3.0);
+
+        FeatureTransformer full = new FeatureTransformer(new HashMap<>(), false, selected);
+        full.setEloParams(params);
+        List<float[]> fullRows = full.buildRows(sampleMatches(), new ArrayList<>());
+
+        // featurize only the second tournament, warm-started from the whole history
+        List<MatchFeatures> later = new ArrayList<>();
+        for (MatchFeatures m : sampleMatches()) if (m.tourney_date >= 20240115) later.add(m);
+        FeatureTransformer warm = new FeatureTransformer(new HashMap<>(), false, selected);
+        warm.setEloParams(params);
+        warm.setEloHistory(sampleMatches());
+        List<float[]> warmRows = warm.buildRows(later, new ArrayList<>());
+
+        int offset = fullRows.size() - warmRows.size();
+        for (int r = 0; r < warmRows.size(); r++) {
+            assertArrayEquals(fullRows.get(offset + r), warmRows.get(r));
+        }
+        // A beat B in T1, so the rematch no longer starts from 1500 each
+        assertTrue(warmRows.get(0)[2] != 0f);
+
+        FeatureTransformer cold = new FeatureTransformer(new HashMap<>(), false, selected);
+        cold.setEloParams(params);
+        assertEquals(0f, cold.buildRows(later, new ArrayList<>()).get(0)[2]);
+    }
+
+    @Test
+    void unknownFeatureIsRejected() {
+        FeatureTransformer ft = new FeatureTransformer(new HashMap<>(), true, List.of("p1_rank", "no_such_feature"));
+        assertThrows(IllegalArgumentException.class, ft::getFeatureNames);
+    }
+
+    @Test
+    void customExtractorCanBeSelected() {
+        FeatureTransformer ft = new FeatureTransformer(new HashMap<>(), false, List.of("custom_x"));
+        ft.registerExtractor(FeatureExtractor.of("custom", List.of("custom_x"),
+                EnumSet.noneOf(FeatureExtractor.Requirement.class), (m, w, out, o) -> out[o] = 42f));
+        List<float[]> rows = ft.buildRows(sampleMatches(), new ArrayList<>());
+        assertEquals(List.of("custom_x"), ft.getFeatureNames());
+        assertEquals(42f, rows.get(0)[0]);
+    }
+
+    @Test
+    void unselectedStateIsNotMaintained() {
+        FeatureTransformer ft = new FeatureTransformer(new HashMap<>(), true, List.of("p1_rank", "gamesW_pct"));
+        ft.buildRows(sampleMatches(), new ArrayList<>());
+        assertTrue(ft.getPlayerHistories().isEmpty());
+        assertTrue(ft.getH2hWins().isEmpty());
+
+        FeatureTransformer withState = new FeatureTransformer(new HashMap<>(), true, List.of("p1_form", "h2h_p1_vs_p2"));
+        withState.buildRows(sampleMatches(), new ArrayList<>());
+        assertFalse(withState.getPlayerHistories().isEmpty());
+        assertFalse(withState.getH2hWins().isEmpty());
+    }
+
+    // --- fixtures ---
+
+    static List<MatchFeatures> sampleMatches() {
+        return List.of(
+                match("T1", 20240101, 1, "A", "B", "6-4 7-6(5)", "Hard"),
+                match("T1", 20240101, 2, "C", "D", "4-6 6-3 6-2", "Hard"),
+                match("T1", 20240101, 3, "A", "C", "7-6(3) 6-7(8) 6-4", "Hard"),
+                match("T2", 20240115, 1, "B", "A", "6-3 3-2 RET", "Clay"),
+                match("T2", 20240115, 2, "D", "C", "W/O", "Clay"),
+                match("T2", 20240115, 3, "A", "B", "6-1 6-1", "Clay"));
+    }
+
+    static MatchFeatures match(String tourney, int date, int num, String winner, String loser, String score, String surface) {
+        MatchFeatures m = new MatchFeatures();
+        m.tourney_id = tourney;
+        m.tourney_date = date;
+        m.match_num = num;
+        m.surface = surface;
+        m.winner_id = winner;
+        m.loser_id = loser;
+        m.winner_rank = 10 + winner.charAt(0);
+        m.loser_rank = 10 + loser.charAt(0);
+        m.winner_ioc = "SWE";
+        m.loser_ioc = "NOR";
+        m.score = score;
+        m.best_of = 3;
+        m.round = "R32";
+        return m;
+    }
+}
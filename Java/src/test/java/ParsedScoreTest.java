@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedScoreTest {
+
+    @Test
+    void parsesPlainSets() {
+        ParsedScore ps = ParsedScore.parse("4-6 7-5 6-2");
+        assertEquals(3, ps.nSets);
+        assertEquals(ParsedScore.END_COMPLETED, ps.termination);
+        assertEquals(4, ps.gamesW(0));
+        assertEquals(6, ps.gamesL(0));
+        assertEquals(ParsedScore.SET_NORMAL, ps.setType(0));
+        assertEquals(-1, ps.tbW(0));
+        assertEquals(2, ps.setsWon());
+        assertEquals(1, ps.setsLost());
+        assertEquals(17, ps.gamesWon());
+        assertEquals(13, ps.gamesLost());
+    }
+
+    @Test
+    void infersTiebreakPointsForBothPlayers() {
+        ParsedScore ps = ParsedScore.parse("7-6(5) 6-7(12) 6-3");
+        assertEquals(3, ps.nSets);
+        // winner took the set: bracket is the loser's points, winner needed 7
+        assertEquals(ParsedScore.SET_TIEBREAK, ps.setType(0));
+        assertEquals(7, ps.tbW(0));
+        assertEquals(5, ps.tbL(0));
+        // winner lost the set 12-14
+        assertEquals(ParsedScore.SET_TIEBREAK, ps.setType(1));
+        assertEquals(12, ps.tbW(1));
+        assertEquals(14, ps.tbL(1));
+        // tiebreak digits are not glued onto the games
+        assertEquals(6, ps.gamesL(0));
+        assertEquals(2, ps.tiebreaks());
+        assertEquals(1, ps.tiebreaksWon());
+    }
+
+    @Test
+    void tiebreakWithoutPointsIsStillATiebreak() {
+        ParsedScore ps = ParsedScore.parse("6-3 7-6(");
+        assertEquals(2, ps.nSets);
+        assertEquals(7, ps.gamesW(1));
+        assertEquals(6, ps.gamesL(1));
+        assertEquals(ParsedScore.SET_TIEBREAK, ps.setType(1));
+        assertEquals(-1, ps.tbW(1));
+        assertEquals(-1, ps.tbL(1));
+        assertEquals(ParsedScore.END_COMPLETED, ps.termination);
+    }
+
+    @Test
+    void legacyScoreFeaturesForTiebreakScore() {
+        // tiebreak points must not leak into games: 19-16 games, not 7-65 style sums
+        FeatureTransformer ft = new FeatureTransformer(new HashMap<>(), false,
+                List.of("setsW_pct", "setsL_pct", "gamesW_pct", "gamesL_pct", "tiebreak_ratio", "retired_flag"));
+        MatchFeatures m = new MatchFeatures();
+        m.winner_id = "A";
+        m.loser_id = "B";
+        m.score = "7-6(5) 6-7(12) 6-3";
+        List<Float> f = ft.debugFeaturesForMatch(m, true);
+        assertEquals(2f / 3, f.get(0), 1e-6);
+        assertEquals(1f / 3, f.get(1), 1e-6);
+        assertEquals(19f / 35, f.get(2), 1e-6);
+        assertEquals(16f / 35, f.get(3), 1e-6);
+        assertEquals(2f / 3, f.get(4), 1e-6);
+        assertEquals(0f, f.get(5), 1e-6);
+    }
+
+    @Test
+    void parsesMatchTiebreak() {
+        ParsedScore ps = ParsedScore.parse("6-4 3-6 [10-8]");
+        assertEquals(3, ps.nSets);
+        assertEquals(ParsedScore.SET_MATCH_TIEBREAK, ps.setType(2));
+        assertEquals(10, ps.gamesW(2));
+        assertEquals(8, ps.gamesL(2));
+        assertTrue(ps.hasMatchTiebreak());
+        assertEquals(0, ps.tiebreaks());
+    }
+
+    @Test
+    void detectsTerminationTypes() {
+        ParsedScore ret = ParsedScore.parse("6-3 2-1 RET");
+        assertEquals(ParsedScore.END_RETIRED, ret.termination);
+        assertEquals(2, ret.nSets);
+        assertTrue(ret.isRetiredOrWalkover());
+
+        ParsedScore wo = ParsedScore.parse("W/O");
+        assertEquals(ParsedScore.END_WALKOVER, wo.termination);
+        assertEquals(0, wo.nSets);
+        assertTrue(wo.isPresent());
+
+        ParsedScore def = ParsedScore.parse("6-4 (DEF)");
+        assertEquals(ParsedScore.END_DEFAULT, def.termination);
+        assertEquals(1, def.nSets);
+        assertFalse(def.isRetiredOrWalkover());
+
+        // W/O outranks RET regardless of order: nothing was played
+        ParsedScore woRet = ParsedScore.parse("W/O RET");
+        assertEquals(ParsedScore.END_WALKOVER, woRet.termination);
+        assertEquals(ParsedScore.END_WALKOVER, ParsedScore.parse("RET W/O").termination);
+
+        assertEquals(ParsedScore.END_DEFAULT, ParsedScore.parse("6-4 Def.").termination);
+        assertEquals(ParsedScore.END_ABANDONED, ParsedScore.parse("6-4 (WEA)").termination);
+        assertEquals(ParsedScore.END_ABANDONED, ParsedScore.parse("3-2 ABN").termination);
+    }
+
+    @Test
+    void handlesMissingAndUnrecognisedScores() {
+        ParsedScore na = ParsedScore.parse("NA");
+        assertTrue(na.isPresent());
+        assertEquals(0, na.nSets);
+        assertEquals(ParsedScore.END_UNKNOWN, na.termination);
+
+        assertSame(ParsedScore.EMPTY, ParsedScore.parse(null));
+        assertSame(ParsedScore.EMPTY, ParsedScore.parse(""));
+        assertFalse(ParsedScore.EMPTY.isPresent());
+    }
+
+    @Test
+    void skipsMalformedSetTokens() {
+        ParsedScore ps = ParsedScore.parse("6-4 3 6-2");
+        assertEquals(2, ps.nSets);
+        assertEquals(6, ps.gamesW(1));
+        assertEquals(2, ps.gamesL(1));
+    }
+}